@@ -0,0 +1,164 @@
+package com.example.uberprojectauthservice.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts invalidations of per-node auth caches (currently user details)
+ * to every replica. Invalidations are keyed by user email, coalesced while pending
+ * and flushed as one batch every flush interval. A batch the transport rejects is
+ * put back and retried on the next flush, so delivery is at-least-once and every
+ * node converges within roughly one flush interval of a healthy transport.
+ * Caches should still expire entries on their own so that convergence stays
+ * bounded when the transport is not healthy.
+ */
+@Slf4j
+public class AuthCacheInvalidationBus implements AutoCloseable {
+
+    private static final int CLOSE_FLUSH_ATTEMPTS = 3;
+
+    private static final long CLOSE_AWAIT_MS = 5_000;
+
+    private final InvalidationTransport transport;
+
+    private final long flushIntervalMs;
+
+    private final List<Consumer<Set<String>>> listeners = new CopyOnWriteArrayList<>();
+
+    private final Consumer<Set<String>> receiver = this::deliver;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "auth-cache-invalidation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Set<String> pending = new LinkedHashSet<>();
+
+    public AuthCacheInvalidationBus(InvalidationTransport transport, long flushIntervalMs) {
+        this.transport = transport;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    /**
+     * Subscribes to the transport and starts the periodic flush.
+     */
+    public void start() {
+        transport.subscribe(receiver);
+        scheduler.scheduleWithFixedDelay(this::scheduledFlush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues an invalidation for the given user. Repeated calls before the next
+     * flush collapse into a single entry. A null email is ignored, since no cache is keyed by it.
+     *
+     * @param email The email of the user whose cached auth state changed.
+     */
+    public void publish(String email) {
+        if (email == null) {
+            return;
+        }
+        synchronized (this) {
+            pending.add(email);
+        }
+    }
+
+    /**
+     * Registers a local cache to be notified of invalidations from any node.
+     * Listeners may see the same email more than once and must be idempotent.
+     *
+     * @param listener Callback receiving each batch of invalidated emails.
+     */
+    public void subscribe(Consumer<Set<String>> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Sends all pending invalidations as one batch. On failure the batch is merged
+     * back into the pending set so it goes out with the next flush.
+     */
+    public void flush() {
+        Set<String> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashSet<>();
+        }
+        Set<String> emails = Set.copyOf(batch);
+
+        try {
+            transport.send(emails);
+        } catch (RuntimeException e) {
+            log.warn("Failed to broadcast {} cache invalidation(s), will retry", batch.size(), e);
+            synchronized (this) {
+                batch.addAll(pending);
+                pending = batch;
+            }
+        }
+    }
+
+    /**
+     * Runs a flush from the scheduler. An exception escaping a periodic task would cancel it,
+     * silently stopping all further flushes, so anything thrown here is logged and swallowed.
+     */
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (Throwable t) {
+            log.error("Unexpected failure while flushing cache invalidations", t);
+        }
+    }
+
+    private synchronized boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    private void deliver(Set<String> emails) {
+        for (Consumer<Set<String>> listener : listeners) {
+            try {
+                listener.accept(emails);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Stops the periodic flush, waits for one already in progress and makes a bounded
+     * number of attempts to send what is still pending. Anything left after that is
+     * dropped and logged, since no later flush will pick it up.
+     */
+    @Override
+    public void close() {
+        transport.unsubscribe(receiver);
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(CLOSE_AWAIT_MS, TimeUnit.MILLISECONDS)) {
+                log.warn("Cache invalidation flush still running after {} ms", CLOSE_AWAIT_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (int attempt = 0; attempt < CLOSE_FLUSH_ATTEMPTS && hasPending(); attempt++) {
+            flush();
+        }
+
+        synchronized (this) {
+            if (!pending.isEmpty()) {
+                log.error("Dropping {} cache invalidation(s) on shutdown: {}", pending.size(), pending);
+                pending = new LinkedHashSet<>();
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.uberprojectauthservice.cache;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Carries batches of cache invalidations between auth service nodes.
+ * Implementations may deliver a batch more than once, so receivers must treat
+ * invalidations as idempotent.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Broadcasts a batch of invalidated user emails to every node, including this one.
+     *
+     * @param emails The emails whose cached auth state is stale.
+     * @throws RuntimeException If the batch could not be handed off; the caller retries it.
+     */
+    void send(Set<String> emails);
+
+    /**
+     * Registers a receiver for batches broadcast by any node.
+     *
+     * @param receiver Callback invoked with each delivered batch.
+     */
+    void subscribe(Consumer<Set<String>> receiver);
+
+    /**
+     * Stops delivering batches to a receiver previously passed to {@link #subscribe}.
+     *
+     * @param receiver The callback to remove.
+     */
+    void unsubscribe(Consumer<Set<String>> receiver);
+}
@@ -0,0 +1,33 @@
+package com.example.uberprojectauthservice.cache;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM transport that delivers every batch synchronously to all subscribers.
+ * Used in tests, and as the local stand-in when running a single node; several
+ * buses sharing one instance behave like a cluster on a reliable network.
+ */
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+
+    private final List<Consumer<Set<String>>> receivers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(Set<String> emails) {
+        for (Consumer<Set<String>> receiver : receivers) {
+            receiver.accept(emails);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<Set<String>> receiver) {
+        receivers.add(receiver);
+    }
+
+    @Override
+    public void unsubscribe(Consumer<Set<String>> receiver) {
+        receivers.remove(receiver);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.uberprojectauthservice.config;
+
+import com.example.uberprojectauthservice.cache.AuthCacheInvalidationBus;
+import com.example.uberprojectauthservice.cache.InvalidationTransport;
+import com.example.uberprojectauthservice.cache.LoopbackInvalidationTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheInvalidationConfig {
+
+    @Value("${auth.cache.invalidation.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    /**
+     * Local stand-in transport. A cluster sets {@code auth.cache.invalidation.transport} to another
+     * value and defines its broker-backed {@link InvalidationTransport} bean under that condition.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "auth.cache.invalidation.transport", havingValue = "loopback", matchIfMissing = true)
+    public InvalidationTransport invalidationTransport() {
+        return new LoopbackInvalidationTransport();
+    }
+
+    @Bean(initMethod = "start")
+    public AuthCacheInvalidationBus authCacheInvalidationBus(InvalidationTransport invalidationTransport) {
+        return new AuthCacheInvalidationBus(invalidationTransport, flushIntervalMs);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.uberprojectauthservice.service;
 
 
+import com.example.uberprojectauthservice.cache.AuthCacheInvalidationBus;
 import com.example.uberprojectauthservice.dto.PassengerDto;
 import com.example.uberprojectauthservice.dto.PassengerSignupRequestDto;
 import com.example.uberprojectauthservice.repository.PassengerRepository;
@@ -15,10 +16,14 @@ public class AuthService {
 
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
 
+    private final AuthCacheInvalidationBus authCacheInvalidationBus;
 
-    public AuthService(PassengerRepository passengerRepository, BCryptPasswordEncoder bCryptPasswordEncoder) {
+
+    public AuthService(PassengerRepository passengerRepository, BCryptPasswordEncoder bCryptPasswordEncoder,
+                       AuthCacheInvalidationBus authCacheInvalidationBus) {
         this.passengerRepository = passengerRepository;
         this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+        this.authCacheInvalidationBus = authCacheInvalidationBus;
     }
 
     public PassengerDto signUp(PassengerSignupRequestDto passengerSignupRequestDto){
@@ -29,6 +34,8 @@ public class AuthService {
                                         .phoneNumber(passengerSignupRequestDto.getPhoneNumber())
                                         .build();
         Passenger newPassenger = passengerRepository.save(passenger);
+        // Nothing caches a missing user today; this keeps future negative or token caches consistent.
+        authCacheInvalidationBus.publish(newPassenger.getEmail());
 
         return PassengerDto.toDto(newPassenger);
 
@@ -1,31 +1,105 @@
 package com.example.uberprojectauthservice.service;
 
+import com.example.uberprojectauthservice.cache.AuthCacheInvalidationBus;
 import com.example.uberprojectauthservice.helpers.AuthPassengerDetails;
 import com.example.uberprojectauthservice.repository.PassengerRepository;
 import com.example.uberprojectentityservice.models.Passenger;
-import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Loads passengers for Spring Security, keeping a short-lived per-node cache of the result.
+ * Entries are evicted by the cluster-wide invalidation bus and, as a backstop for changes
+ * made outside this service or lost in transit, expire after a max age of a few flush intervals.
+ * Once the cache holds max-size entries the least recently used one is dropped.
+ */
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
-    @Autowired
-    private  PassengerRepository passengerRepository;
+    private final PassengerRepository passengerRepository;
 
+    private final AuthCacheInvalidationBus authCacheInvalidationBus;
 
+    private final long maxAgeNanos;
+
+    /**
+     * Access-ordered so the eldest entry is the least recently used; guarded by its own monitor.
+     */
+    private final Map<String, CachedUserDetails> userDetailsCache;
+
+    /**
+     * Bumped on every invalidation so a lookup that started earlier does not cache its stale result.
+     * Guarded by the {@link #userDetailsCache} monitor.
+     */
+    private long generation;
+
+    public UserDetailsServiceImpl(PassengerRepository passengerRepository,
+                                  AuthCacheInvalidationBus authCacheInvalidationBus,
+                                  @Value("${auth.cache.user-details.max-age-ms:1000}") long maxAgeMs,
+                                  @Value("${auth.cache.user-details.max-size:10000}") int maxSize) {
+        this.passengerRepository = passengerRepository;
+        this.authCacheInvalidationBus = authCacheInvalidationBus;
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMs);
+        this.userDetailsCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUserDetails> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @PostConstruct
+    void subscribeToInvalidations() {
+        authCacheInvalidationBus.subscribe(this::invalidate);
+    }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        long startGeneration;
+        synchronized (userDetailsCache) {
+            CachedUserDetails cached = userDetailsCache.get(email);
+            if (cached != null) {
+                if (cached.expiresAt() - System.nanoTime() > 0) {
+                    return cached.userDetails();
+                }
+                userDetailsCache.remove(email);
+            }
+            startGeneration = generation;
+        }
+
+        long expiresAt = System.nanoTime() + maxAgeNanos;
         Optional<Passenger> passenger = passengerRepository.findPassengerByEmail(email);
         if (passenger.isPresent()) {
-            return new AuthPassengerDetails(passenger.get());
+            UserDetails userDetails = new AuthPassengerDetails(passenger.get());
+            synchronized (userDetailsCache) {
+                // Skip caching if an invalidation ran while we were loading; our row may predate it.
+                if (generation == startGeneration) {
+                    userDetailsCache.put(email, new CachedUserDetails(userDetails, expiresAt));
+                }
+            }
+            return userDetails;
         } else {
             throw new UsernameNotFoundException("Username not found");
         }
     }
+
+    private void invalidate(Set<String> emails) {
+        synchronized (userDetailsCache) {
+            generation++;
+            emails.forEach(userDetailsCache::remove);
+        }
+    }
+
+    private record CachedUserDetails(UserDetails userDetails, long expiresAt) {
+    }
 }
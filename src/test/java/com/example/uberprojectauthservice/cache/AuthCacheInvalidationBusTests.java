@@ -0,0 +1,105 @@
+package com.example.uberprojectauthservice.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthCacheInvalidationBusTests {
+
+    private static final long NO_AUTO_FLUSH = 60_000;
+
+    @Test
+    void coalescesAndBroadcastsToEveryNode() {
+        LoopbackInvalidationTransport transport = new LoopbackInvalidationTransport();
+        try (AuthCacheInvalidationBus nodeA = new AuthCacheInvalidationBus(transport, NO_AUTO_FLUSH);
+             AuthCacheInvalidationBus nodeB = new AuthCacheInvalidationBus(transport, NO_AUTO_FLUSH)) {
+            List<Set<String>> receivedByA = new ArrayList<>();
+            List<Set<String>> receivedByB = new ArrayList<>();
+            nodeA.subscribe(receivedByA::add);
+            nodeB.subscribe(receivedByB::add);
+            nodeA.start();
+            nodeB.start();
+
+            nodeA.publish("a@example.com");
+            nodeA.publish("a@example.com");
+            nodeA.publish("b@example.com");
+            nodeA.flush();
+
+            assertEquals(List.of(Set.of("a@example.com", "b@example.com")), receivedByA);
+            assertEquals(List.of(Set.of("a@example.com", "b@example.com")), receivedByB);
+        }
+    }
+
+    @Test
+    void retriesBatchAfterTransportFailure() {
+        FlakyTransport transport = new FlakyTransport();
+        try (AuthCacheInvalidationBus bus = new AuthCacheInvalidationBus(transport, NO_AUTO_FLUSH)) {
+            List<Set<String>> received = new ArrayList<>();
+            bus.subscribe(received::add);
+            bus.start();
+
+            bus.publish("a@example.com");
+            bus.flush();
+            assertTrue(received.isEmpty());
+
+            bus.publish("b@example.com");
+            bus.flush();
+            assertEquals(List.of(Set.of("a@example.com", "b@example.com")), received);
+        }
+    }
+
+    @Test
+    void nullEmailDoesNotBlockLaterInvalidations() {
+        LoopbackInvalidationTransport transport = new LoopbackInvalidationTransport();
+        try (AuthCacheInvalidationBus bus = new AuthCacheInvalidationBus(transport, NO_AUTO_FLUSH)) {
+            List<Set<String>> received = new ArrayList<>();
+            bus.subscribe(received::add);
+            bus.start();
+
+            bus.publish(null);
+            bus.publish("a@example.com");
+            bus.flush();
+            bus.publish("b@example.com");
+            bus.flush();
+
+            assertEquals(List.of(Set.of("a@example.com"), Set.of("b@example.com")), received);
+        }
+    }
+
+    @Test
+    void closedBusStopsReceiving() {
+        LoopbackInvalidationTransport transport = new LoopbackInvalidationTransport();
+        List<Set<String>> receivedByClosed = new ArrayList<>();
+        AuthCacheInvalidationBus closed = new AuthCacheInvalidationBus(transport, NO_AUTO_FLUSH);
+        closed.subscribe(receivedByClosed::add);
+        closed.start();
+        closed.close();
+
+        try (AuthCacheInvalidationBus node = new AuthCacheInvalidationBus(transport, NO_AUTO_FLUSH)) {
+            node.start();
+            node.publish("a@example.com");
+            node.flush();
+        }
+
+        assertTrue(receivedByClosed.isEmpty());
+    }
+
+    private static class FlakyTransport extends LoopbackInvalidationTransport {
+
+        private boolean failNext = true;
+
+        @Override
+        public void send(Set<String> emails) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("transport unavailable");
+            }
+            super.send(emails);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.uberprojectauthservice.service;
+
+import com.example.uberprojectauthservice.cache.AuthCacheInvalidationBus;
+import com.example.uberprojectauthservice.dto.PassengerSignupRequestDto;
+import com.example.uberprojectauthservice.repository.PassengerRepository;
+import com.example.uberprojectentityservice.models.Passenger;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTests {
+
+    @Test
+    void signUpPublishesInvalidationForNewPassenger() {
+        PassengerRepository passengerRepository = mock(PassengerRepository.class);
+        AuthCacheInvalidationBus authCacheInvalidationBus = mock(AuthCacheInvalidationBus.class);
+        Passenger saved = mock(Passenger.class);
+        when(saved.getEmail()).thenReturn("rider@example.com");
+        when(passengerRepository.save(any(Passenger.class))).thenReturn(saved);
+        AuthService authService = new AuthService(passengerRepository, new BCryptPasswordEncoder(), authCacheInvalidationBus);
+
+        authService.signUp(PassengerSignupRequestDto.builder()
+                .name("rider")
+                .email("rider@example.com")
+                .password("secret")
+                .phoneNumber("9999999999")
+                .build());
+
+        verify(authCacheInvalidationBus).publish("rider@example.com");
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.uberprojectauthservice.service;
+
+import com.example.uberprojectauthservice.cache.AuthCacheInvalidationBus;
+import com.example.uberprojectauthservice.cache.LoopbackInvalidationTransport;
+import com.example.uberprojectauthservice.repository.PassengerRepository;
+import com.example.uberprojectentityservice.models.Passenger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserDetailsServiceImplTests {
+
+    private static final String EMAIL = "rider@example.com";
+
+    private static final long NO_AUTO_FLUSH = 60_000;
+
+    private static final long LONG_MAX_AGE = 60_000;
+
+    private final PassengerRepository passengerRepository = mock(PassengerRepository.class);
+
+    private AuthCacheInvalidationBus busA;
+
+    private AuthCacheInvalidationBus busB;
+
+    @BeforeEach
+    void setUp() {
+        LoopbackInvalidationTransport transport = new LoopbackInvalidationTransport();
+        busA = new AuthCacheInvalidationBus(transport, NO_AUTO_FLUSH);
+        busB = new AuthCacheInvalidationBus(transport, NO_AUTO_FLUSH);
+        busA.start();
+        busB.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        busA.close();
+        busB.close();
+    }
+
+    @Test
+    void invalidationPublishedOnOneNodeEvictsAnother() {
+        UserDetailsServiceImpl nodeB = node(busB, LONG_MAX_AGE);
+        when(passengerRepository.findPassengerByEmail(EMAIL))
+                .thenReturn(Optional.of(passenger("old-hash")), Optional.of(passenger("new-hash")));
+
+        assertEquals("old-hash", nodeB.loadUserByUsername(EMAIL).getPassword());
+        assertEquals("old-hash", nodeB.loadUserByUsername(EMAIL).getPassword());
+
+        busA.publish(EMAIL);
+        busA.flush();
+
+        assertEquals("new-hash", nodeB.loadUserByUsername(EMAIL).getPassword());
+        verify(passengerRepository, times(2)).findPassengerByEmail(EMAIL);
+    }
+
+    @Test
+    void entriesExpireWithoutAnyInvalidation() {
+        UserDetailsServiceImpl nodeB = node(busB, 0);
+        when(passengerRepository.findPassengerByEmail(EMAIL))
+                .thenReturn(Optional.of(passenger("old-hash")), Optional.of(passenger("new-hash")));
+
+        nodeB.loadUserByUsername(EMAIL);
+
+        assertEquals("new-hash", nodeB.loadUserByUsername(EMAIL).getPassword());
+    }
+
+    @Test
+    void invalidationDuringLoadIsNotOverwrittenByStaleRow() {
+        UserDetailsServiceImpl nodeB = node(busB, LONG_MAX_AGE);
+        when(passengerRepository.findPassengerByEmail(EMAIL))
+                .thenAnswer(invocation -> {
+                    busA.publish(EMAIL);
+                    busA.flush();
+                    return Optional.of(passenger("old-hash"));
+                })
+                .thenReturn(Optional.of(passenger("new-hash")));
+
+        nodeB.loadUserByUsername(EMAIL);
+
+        assertEquals("new-hash", nodeB.loadUserByUsername(EMAIL).getPassword());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsDroppedWhenFull() {
+        String otherEmail = "other@example.com";
+        UserDetailsServiceImpl nodeB = node(busB, LONG_MAX_AGE, 1);
+        when(passengerRepository.findPassengerByEmail(EMAIL)).thenReturn(Optional.of(passenger("hash")));
+        when(passengerRepository.findPassengerByEmail(otherEmail)).thenReturn(Optional.of(passenger("other-hash")));
+
+        nodeB.loadUserByUsername(EMAIL);
+        nodeB.loadUserByUsername(otherEmail);
+        nodeB.loadUserByUsername(otherEmail);
+        nodeB.loadUserByUsername(EMAIL);
+
+        verify(passengerRepository, times(2)).findPassengerByEmail(EMAIL);
+        verify(passengerRepository, times(1)).findPassengerByEmail(otherEmail);
+    }
+
+    private UserDetailsServiceImpl node(AuthCacheInvalidationBus bus, long maxAgeMs) {
+        return node(bus, maxAgeMs, 10_000);
+    }
+
+    private UserDetailsServiceImpl node(AuthCacheInvalidationBus bus, long maxAgeMs, int maxSize) {
+        UserDetailsServiceImpl node = new UserDetailsServiceImpl(passengerRepository, bus, maxAgeMs, maxSize);
+        node.subscribeToInvalidations();
+        return node;
+    }
+
+    private static Passenger passenger(String passwordHash) {
+        return Passenger.builder()
+                .name("rider")
+                .email(EMAIL)
+                .password(passwordHash)
+                .build();
+    }
+}